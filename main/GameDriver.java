@@ -1,3 +1,5 @@
+import java.util.Arrays;
+import java.util.List;
 import java.util.Scanner;
 import java.util.Set;
 /**
@@ -13,13 +15,17 @@ public class GameDriver {
         System.out.println("""
                                 Commands:
                                 - c <#>: list top (positive number) or bottom (negative) <#> centers of the universe, sorted by average separation
-                                - d <low> <high>: list actors sorted by degree, with degree between low and high
-                                - i: list actors with infinite separation from the current center
+                                - d <low> <high> [options]: list actors sorted by degree, with degree between low and high
+                                - i [options]: list actors with infinite separation from the current center
                                 - p <name>: find the path from <name> to the current center of the universe
-                                - EditorOnes <low> <high>: list actors sorted by non-infinite separation from the current center, with separation between low and high
+                                - w <name>: find the strongest collaboration path (most shared movies) from <name> to the current center
+                                - a <year> <name>: find the path from <name> to the current center using only movies released after <year>
+                                - x <name>|<title>[|<title>...]: find the path from <name> to the current center without the given movies
+                                - EditorOnes <low> <high> [options]: list actors sorted by non-infinite separation from the current center, with separation between low and high
                                 - u <name>: make <name> the center of the universe
                                 - q: quit game
-                                - h: help""");
+                                - h: help
+                                Listing options: offset=<#> limit=<#> out=<file> ndjson""");
     }
     public static void mainGameCenter(Graph<String, Set<String>> actorsGraph) {
         // Initialize the Kevin Bacon game
@@ -52,18 +58,20 @@ public class GameDriver {
                     game.topCenters(actorsGraph, n);
                 }
                 case "d" -> {
-                    if (parts.length != 3 || isInteger(parts[1]) || isInteger(parts[2])) {
+                    ResultPage page = parts.length < 3 ? null : ResultPage.parse(parts, 3);
+                    if (page == null || isInteger(parts[1]) || isInteger(parts[2])) {
                         handleInvalidInput();
                         continue;
                     }
                     int low = Integer.parseInt(parts[1]);
-                    int high = Integer.parseInt(parts[2]); game.degreeSort(actorsGraph, low, high);
+                    int high = Integer.parseInt(parts[2]); game.degreeSort(actorsGraph, low, high, page);
                 } case "i" -> {
-                    if (parts.length != 1) {
+                    ResultPage page = ResultPage.parse(parts, 1);
+                    if (page == null) {
                         handleInvalidInput();
                         continue;
                     }
-                    game.findActorsWithInfiniteSeparation(actorsGraph, centerOfUniverse);
+                    game.findActorsWithInfiniteSeparation(actorsGraph, centerOfUniverse, page);
                 }
                 case "u" -> {
                     if (parts.length < 2 || isString(parts[1])) {
@@ -82,14 +90,43 @@ public class GameDriver {
                     String actor = line.substring(command.length() + 1);
                     game.findShortestPath(GraphLibrary.bfs(actorsGraph, centerOfUniverse), actor);
                 }
+                case "w" -> {
+                    if (parts.length < 2 || isString(parts[1])) {
+                        handleInvalidInput();
+                        continue;
+                    }
+                    String actor = line.substring(command.length() + 1);
+                    game.findConstrainedPath(actorsGraph, centerOfUniverse, actor, null, MovieConstraints.strongestCollaboration());
+                }
+                case "a" -> {
+                    if (parts.length < 3 || isInteger(parts[1])) {
+                        handleInvalidInput();
+                        continue;
+                    }
+                    int year = Integer.parseInt(parts[1]);
+                    String actor = line.substring(command.length() + parts[1].length() + 2);
+                    game.findConstrainedPath(actorsGraph, centerOfUniverse, actor,
+                            MovieConstraints.anyMovie(MovieConstraints.releasedAfter(year)), null);
+                }
+                case "x" -> {
+                    String[] names = parts.length < 2 ? new String[0] : line.substring(command.length() + 1).split("\\|");
+                    if (names.length < 2) {
+                        handleInvalidInput();
+                        continue;
+                    }
+                    List<String> titles = Arrays.asList(names).subList(1, names.length);
+                    game.findConstrainedPath(actorsGraph, centerOfUniverse, names[0],
+                            MovieConstraints.anyMovie(MovieConstraints.excluding(titles)), null);
+                }
                 case "EditorOnes" -> {
-                    if (parts.length != 3 || isInteger(parts[1]) || isInteger(parts[2])) {
+                    ResultPage page = parts.length < 3 ? null : ResultPage.parse(parts, 3);
+                    if (page == null || isInteger(parts[1]) || isInteger(parts[2])) {
                         handleInvalidInput();
                         continue;
                     }
                     int low = Integer.parseInt(parts[1]);
                     int high = Integer.parseInt(parts[2]);
-                    game.nonInfiniteSeparation(GraphLibrary.bfs(actorsGraph, centerOfUniverse), centerOfUniverse, low, high);
+                    game.nonInfiniteSeparation(GraphLibrary.bfs(actorsGraph, centerOfUniverse), centerOfUniverse, low, high, page);
                 }
                 case "q" -> {
                     if (parts.length != 1) {
@@ -111,11 +148,10 @@ public class GameDriver {
         }
     }
 
-    // Helper method to check if a string is an integer
+    // Helper method to check if a string is NOT an integer (true means invalid input)
     private static boolean isInteger(String EditorOnes) {
-        char s = 's';
         try {
-            Integer.parseInt(String.valueOf(s));
+            Integer.parseInt(EditorOnes);
             return false;
         } catch (NumberFormatException e) {
             return true;
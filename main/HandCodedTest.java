@@ -1,6 +1,11 @@
 import java.io.IOException;
-import java.util.Collections;
-import java.util.Set;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class HandCodedTest {
 
@@ -36,7 +41,125 @@ public class HandCodedTest {
         System.out.println("Average Separation of " + root + "is: " + GraphLibrary.averageSeparation(kevinBaconGraph, root));
         System.out.println("Missing vertices between Graph and " + root + "'EditorOnes graph is: " + GraphLibrary.missingVertices(bfsGraph, kevinBaconGraph));
 
+        System.out.println("\n\033[32mChecks of CompactGraph:\033[0m\n");
+        for (CompactGraph.Ordering ordering : CompactGraph.Ordering.values()) {
+            CompactGraph<String, Set<String>> compactGraph = CompactGraph.from(bfsGraph, ordering);
+            check(ordering + " keeps every vertex", compactGraph.numVertices() == bfsGraph.numVertices());
+
+            boolean idsMatch = true, separationsMatch = true;
+            for (String vertex : bfsGraph.vertices()) {
+                int id = compactGraph.idOf(vertex);
+                idsMatch &= id != -1 && compactGraph.vertexOf(id).equals(vertex);
+
+                // A vertex with no neighbors gives 0/0 = NaN on both sides, which Double.compare treats as equal
+                double expected = GraphLibrary.averageSeparation(GraphLibrary.bfs(bfsGraph, vertex), vertex);
+                double actual = compactGraph.averageSeparation(id);
+                separationsMatch &= Double.compare(expected, actual) == 0;
+            }
+            check(ordering + " maps vertexOf(idOf(v)) back to v", idsMatch);
+            check(ordering + " averageSeparation matches GraphLibrary", separationsMatch);
+        }
+        CompactGraph<String, Set<String>> inputGraph = CompactGraph.from(bfsGraph, CompactGraph.Ordering.INPUT);
+        check("idOf an unknown vertex is -1", inputGraph.idOf("Somebody") == -1);
+        check("Nobody's average separation is 1", inputGraph.averageSeparation(inputGraph.idOf("Nobody")) == 1);
+
+        System.out.println("\n\033[32mChecks of the listing streams:\033[0m\n");
+        // verticesByDepth against the getPath-based filter it replaced, including empty and inverted ranges
+        int[][] ranges = {{0, 0}, {1, 1}, {1, 2}, {0, 10}, {3, 1}, {-1, 1}, {-5, -1}, {4, 10}};
+        for (int[] range : ranges) {
+            List<String> byDepth = GraphLibrary.verticesByDepth(kevinBaconGraph, root, range[0], range[1]).collect(Collectors.toList());
+            Set<String> expected = new HashSet<>();
+            for (String vertex : kevinBaconGraph.vertices()) {
+                int separation = GraphLibrary.getPath(kevinBaconGraph, vertex).size() - 1;
+                if (separation >= range[0] && separation <= range[1]) expected.add(vertex);
+            }
+            boolean sorted = true;
+            for (int i = 1; i < byDepth.size(); i++) {
+                sorted &= GraphLibrary.getPath(kevinBaconGraph, byDepth.get(i - 1)).size() <= GraphLibrary.getPath(kevinBaconGraph, byDepth.get(i)).size();
+            }
+            check("verticesByDepth " + range[0] + ".." + range[1] + " gives " + expected,
+                    byDepth.size() == expected.size() && expected.equals(new HashSet<>(byDepth)) && sorted);
+        }
+        check("missingVerticesStream gives the missing vertices",
+                GraphLibrary.missingVerticesStream(bfsGraph, kevinBaconGraph).collect(Collectors.toSet())
+                        .equals(GraphLibrary.missingVertices(bfsGraph, kevinBaconGraph)));
+
+        check("ResultPage accepts every option", ResultPage.parse(new String[]{"i", "offset=1", "limit=2", "out=x.txt", "ndjson"}, 1) != null);
+        for (String option : new String[]{"limit=x", "offset=-1", "limit=", "out=", "json", "2"}) {
+            check("ResultPage rejects " + option, ResultPage.parse(new String[]{"i", option}, 1) == null);
+        }
+
+        Path ndjsonFile = Files.createTempFile("hand-coded", ".ndjson");
+        ResultPage page = ResultPage.parse(new String[]{"offset=1", "limit=2", "out=" + ndjsonFile, "ndjson"}, 0);
+        page.write(Stream.of("Skipped", "Say \"Hi\" \\ Bye", "Tab\tCharit\u00e9\u0001", "Over the limit"));
+        List<String> lines = Files.readAllLines(ndjsonFile, StandardCharsets.UTF_8);
+        check("NDJSON pages and escapes quotes, backslashes and control characters", lines.equals(List.of(
+                "{\"rank\":2,\"actor\":\"Say \\\"Hi\\\" \\\\ Bye\"}",
+                "{\"rank\":3,\"actor\":\"Tab\\tCharit\u00e9\\u0001\"}")));
+        Files.delete(ndjsonFile);
+
+        System.out.println("\n\033[32mChecks of the constrained paths:\033[0m\n");
+        IndexedMinHeap heap = new IndexedMinHeap(6);
+        double[] priorities = {5, 3, 4, 0.5, 2, 1};
+        for (int id = 0; id < priorities.length; id++) heap.insertOrDecrease(id, priorities[id]);
+        heap.insertOrDecrease(0, 0.25); // decrease 0 to the front
+        heap.insertOrDecrease(3, 9);    // a larger key must not move 3 back
+        List<Integer> heapOrder = new ArrayList<>();
+        while (!heap.isEmpty()) heapOrder.add(heap.extractMin());
+        check("IndexedMinHeap extracts by key after decrease-key", heapOrder.equals(List.of(0, 3, 5, 4, 1, 2)));
+
+        check("releaseYear reads the (YYYY) suffix", MovieConstraints.releaseYear("Apollo 13 (1995)") == 1995);
+        check("releaseYear of a title without a year is -1", MovieConstraints.releaseYear("Untitled") == -1
+                && MovieConstraints.releaseYear("1984") == -1);
+
+        // One weak link (Alice, one movie) against a longer chain of strong links (several shared movies each)
+        Graph<String, Set<String>> movieGraph = new AdjacencyMapGraph<>();
+        for (String actor : List.of("Kevin Bacon", "Alice", "Bob", "Dan", "Charlie", "Eve")) {
+            movieGraph.insertVertex(actor);
+        }
+        movieGraph.insertUndirected("Kevin Bacon", "Alice", Set.of("Apollo 13 (1995)"));
+        movieGraph.insertUndirected("Alice", "Charlie", Set.of("Old Movie (1985)"));
+        movieGraph.insertUndirected("Kevin Bacon", "Bob", Set.of("X (2000)", "Y (2001)", "Z (2002)"));
+        movieGraph.insertUndirected("Bob", "Dan", Set.of("P (1999)", "Q (1998)"));
+        movieGraph.insertUndirected("Dan", "Charlie", Set.of("R (1997)", "S (1996)"));
+        movieGraph.insertUndirected("Kevin Bacon", "Eve", Set.of("Untitled"));
+
+        CompactGraph<String, Set<String>> movies = CompactGraph.from(movieGraph, CompactGraph.Ordering.INPUT);
+        int bacon = movies.idOf("Kevin Bacon"), charlie = movies.idOf("Charlie"), eve = movies.idOf("Eve");
+        check("BFS path is the fewest steps", movies.getPath(movies.bfs(bacon), charlie).equals(List.of("Charlie", "Alice", "Kevin Bacon")));
+
+        double[] distance = new double[movies.numVertices()];
+        int[] strongest = movies.dijkstra(bacon, -1, null, MovieConstraints.strongestCollaboration(), distance);
+        check("strongest collaboration path goes through the shared-movie chain",
+                movies.getPath(strongest, charlie).equals(List.of("Charlie", "Dan", "Bob", "Kevin Bacon")));
+        check("strongest collaboration weight is 1/2 + 1/2 + 1/3", Math.abs(distance[charlie] - (1.0 / 2 + 1.0 / 2 + 1.0 / 3)) < 1e-9);
+        double[] earlyDistance = new double[movies.numVertices()];
+        int[] early = movies.dijkstra(bacon, movies.idOf("Alice"), null, MovieConstraints.strongestCollaboration(), earlyDistance);
+        check("dijkstra stopped at a target leaves unsettled vertices unreached",
+                early[movies.idOf("Alice")] == bacon && early[charlie] == -1 && Double.isInfinite(earlyDistance[charlie]));
+        double[] unitDistance = new double[movies.numVertices()];
+        movies.dijkstra(bacon, -1, null, label -> 1, unitDistance);
+        check("dijkstra with unit weights counts BFS steps", unitDistance[charlie] == 2 && unitDistance[eve] == 1);
+
+        Predicate<Set<String>> after1990 = MovieConstraints.anyMovie(MovieConstraints.releasedAfter(1990));
+        int[] recent = movies.bfs(bacon, after1990);
+        check("filtered BFS avoids the 1985 movie", movies.getPath(recent, charlie).equals(List.of("Charlie", "Dan", "Bob", "Kevin Bacon")));
+        check("filtered BFS drops movies without a year", movies.getPath(recent, eve).isEmpty());
+        check("filtered dijkstra stops at the filter too",
+                movies.getPath(movies.dijkstra(bacon, eve, after1990, label -> 1, null), eve).isEmpty());
+
+        Predicate<Set<String>> withoutApollo = MovieConstraints.anyMovie(MovieConstraints.excluding(List.of("Apollo 13 (1995)")));
+        check("excluding a title reroutes the path",
+                movies.getPath(movies.bfs(bacon, withoutApollo), charlie).equals(List.of("Charlie", "Dan", "Bob", "Kevin Bacon")));
+        Predicate<Set<String>> withoutX = MovieConstraints.anyMovie(MovieConstraints.excluding(List.of("X (2000)")));
+        check("excluding one of several shared movies keeps the edge", movies.bfs(bacon, withoutX)[movies.idOf("Bob")] == bacon);
+
         System.out.println("\n\n\033[31mGAME STARTING PLAYING...\033[0m");
         GameDriver.mainGameCenter(bfsGraph);
     }
+
+    // Helper method to print the outcome of a check
+    private static void check(String description, boolean passed) {
+        System.out.println((passed ? "\033[32mPASS\033[0m " : "\033[31mFAIL\033[0m ") + description);
+    }
 }
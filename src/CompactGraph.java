@@ -0,0 +1,388 @@
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+/**
+ * Array-backed copy of a Graph used for repeated traversals in the Kevin Bacon Game.
+ * Vertices are renumbered 0..n-1 and the out-neighbors of each vertex are stored next to each other,
+ * so a BFS step reads nearby memory instead of jumping between hash entries.
+ * The renumbering is kept both ways so names and IDs always map correctly.
+ *
+ * @author Lord Charité Igirimbabazi
+ * CS10, Fall 2023, PS4
+ */
+public class CompactGraph<V, E> {
+
+    /**
+     * Ways of numbering the vertices before the adjacency arrays are laid out.
+     */
+    public enum Ordering {
+        INPUT,   // iteration order of the source graph (hash order for AdjacencyMapGraph)
+        DEGREE,  // highest degree first, so the hubs share a few cache lines
+        HUB_BFS, // BFS order starting from the highest-degree vertex of each component
+        RCM      // Reverse Cuthill-McKee
+    }
+
+    private final List<V> idToVertex;        // ID -> vertex
+    private final Map<V, Integer> vertexToId; // vertex -> ID
+    private final int[] offsets;             // neighbors of id are targets[offsets[id] .. offsets[id + 1])
+    private final int[] targets;             // neighbor IDs, grouped by source vertex
+    private final List<E> labels;            // label of the edge stored at the same index in targets
+
+    // Scratch space reused by every traversal, so all-sources runs don't allocate per source
+    private final int[] queue;
+    private final int[] mark;
+    private int stamp;
+
+    /**
+     * Lay out a compact copy of a graph using the given vertex order.
+     *
+     * @param g     The graph to copy.
+     * @param order Every vertex of g exactly once; position in the list becomes the vertex ID.
+     */
+    private CompactGraph(Graph<V, E> g, List<V> order) {
+        int n = order.size();
+        idToVertex = new ArrayList<>(order);
+        vertexToId = new HashMap<>();
+        for (int id = 0; id < n; id++) {
+            vertexToId.put(idToVertex.get(id), id);
+        }
+
+        offsets = new int[n + 1];
+        for (int id = 0; id < n; id++) {
+            offsets[id + 1] = offsets[id] + g.outDegree(idToVertex.get(id));
+        }
+
+        targets = new int[offsets[n]];
+        labels = new ArrayList<>(offsets[n]);
+        for (int id = 0; id < n; id++) {
+            V vertex = idToVertex.get(id);
+            int next = offsets[id];
+            for (V neighbor : g.outNeighbors(vertex)) {
+                targets[next++] = vertexToId.get(neighbor);
+                labels.add(g.getLabel(vertex, neighbor));
+            }
+        }
+
+        queue = new int[n];
+        mark = new int[n];
+    }
+
+    /**
+     * Build a compact copy of a graph, renumbering its vertices with the given ordering.
+     *
+     * @param g        The graph to copy.
+     * @param ordering How to number the vertices.
+     * @return The compact graph, or an empty one if g is null.
+     */
+    public static <V, E> CompactGraph<V, E> from(Graph<V, E> g, Ordering ordering) {
+        if (g == null) {
+            System.err.println("Empty Graph in CompactGraph");
+            return new CompactGraph<>(new AdjacencyMapGraph<>(), new ArrayList<>());
+        }
+
+        List<V> order = switch (ordering) {
+            case INPUT -> inputOrder(g);
+            case DEGREE -> degreeOrder(g);
+            case HUB_BFS -> hubBfsOrder(g);
+            case RCM -> reverseCuthillMcKeeOrder(g);
+        };
+        return new CompactGraph<>(g, order);
+    }
+
+    /**
+     * Vertices in the order the source graph iterates them.
+     */
+    private static <V, E> List<V> inputOrder(Graph<V, E> g) {
+        List<V> order = new ArrayList<>();
+        for (V vertex : g.vertices()) {
+            order.add(vertex);
+        }
+        return order;
+    }
+
+    /**
+     * Vertices sorted by degree, highest first.
+     */
+    private static <V, E> List<V> degreeOrder(Graph<V, E> g) {
+        List<V> order = inputOrder(g);
+        order.sort((v1, v2) -> Integer.compare(g.outDegree(v2), g.outDegree(v1)));
+        return order;
+    }
+
+    /**
+     * Vertices in BFS order, each component starting from its highest-degree vertex.
+     */
+    private static <V, E> List<V> hubBfsOrder(Graph<V, E> g) {
+        return bfsOrder(g, degreeOrder(g), false);
+    }
+
+    /**
+     * Cuthill-McKee order (components started from their lowest-degree vertex,
+     * neighbors visited by increasing degree), reversed.
+     */
+    private static <V, E> List<V> reverseCuthillMcKeeOrder(Graph<V, E> g) {
+        List<V> starts = degreeOrder(g);
+        Collections.reverse(starts); // lowest degree first
+        List<V> order = bfsOrder(g, starts, true);
+        Collections.reverse(order);
+        return order;
+    }
+
+    /**
+     * Concatenated BFS orders of every component of the graph.
+     *
+     * @param g                  The graph to number.
+     * @param starts             Candidate start vertices; the first unvisited one begins the next component.
+     * @param byIncreasingDegree Whether to visit the neighbors of each vertex by increasing degree.
+     * @return Every vertex of g exactly once.
+     */
+    private static <V, E> List<V> bfsOrder(Graph<V, E> g, List<V> starts, boolean byIncreasingDegree) {
+        List<V> order = new ArrayList<>(starts.size());
+        Set<V> visited = new HashSet<>();
+        List<V> neighbors = new ArrayList<>();
+
+        for (V start : starts) {
+            if (visited.contains(start)) {
+                continue;
+            }
+            visited.add(start);
+            int head = order.size();
+            order.add(start);
+
+            // order doubles as the BFS queue: everything after head is still to be expanded
+            while (head < order.size()) {
+                V current = order.get(head++);
+                neighbors.clear();
+                for (V v : g.outNeighbors(current)) {
+                    if (!visited.contains(v)) {
+                        neighbors.add(v);
+                    }
+                }
+                if (byIncreasingDegree) {
+                    neighbors.sort(Comparator.comparingInt(g::outDegree));
+                }
+                for (V v : neighbors) {
+                    visited.add(v);
+                    order.add(v);
+                }
+            }
+        }
+
+        return order;
+    }
+
+    /**
+     * @return The number of vertices.
+     */
+    public int numVertices() {
+        return idToVertex.size();
+    }
+
+    /**
+     * @param vertex A vertex of the original graph.
+     * @return Its ID, or -1 if it is not in the graph.
+     */
+    public int idOf(V vertex) {
+        Integer id = vertexToId.get(vertex);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * @param id A vertex ID.
+     * @return The vertex of the original graph with that ID.
+     */
+    public V vertexOf(int id) {
+        return idToVertex.get(id);
+    }
+
+    /**
+     * Perform BFS from a source vertex.
+     *
+     * @param source The ID of the source vertex.
+     * @return For each vertex ID, the ID of its parent in the shortest path tree;
+     *         the source is its own parent and unreachable vertices have -1.
+     */
+    public int[] bfs(int source) {
+        return bfs(source, null);
+    }
+
+    /**
+     * Perform BFS from a source vertex, following only the edges whose label passes a filter.
+     * The filter is checked during the traversal, so no filtered copy of the graph is built.
+     *
+     * @param source     The ID of the source vertex.
+     * @param edgeFilter Which edges may be followed, or null for all of them.
+     * @return For each vertex ID, the ID of its parent in the shortest path tree;
+     *         the source is its own parent and unreachable vertices have -1.
+     */
+    public int[] bfs(int source, Predicate<E> edgeFilter) {
+        return bfs(source, edgeFilter, new int[numVertices()]);
+    }
+
+    /**
+     * Perform BFS from a source vertex into a caller-supplied parent array,
+     * so repeated traversals don't allocate a new array per source.
+     *
+     * @param source     The ID of the source vertex.
+     * @param edgeFilter Which edges may be followed, or null for all of them.
+     * @param parent     An array of numVertices() entries, overwritten with the parent of each vertex ID.
+     * @return parent, with the source as its own parent and -1 for unreachable vertices.
+     */
+    public int[] bfs(int source, Predicate<E> edgeFilter, int[] parent) {
+        Arrays.fill(parent, -1);
+        if (source < 0 || source >= numVertices()) {
+            System.err.println("Vertex source not found in bfs");
+            return parent;
+        }
+
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        parent[source] = source;
+
+        while (head < tail) {
+            int current = queue[head++];
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int v = targets[e];
+                if (parent[v] == -1 && (edgeFilter == null || edgeFilter.test(labels.get(e)))) {
+                    parent[v] = current;
+                    queue[tail++] = v;
+                }
+            }
+        }
+
+        return parent;
+    }
+
+    /**
+     * Run Dijkstra from a source vertex, following only the edges whose label passes a filter
+     * and weighting each edge by a function of its label.
+     *
+     * @param source     The ID of the source vertex.
+     * @param target     The ID of a vertex to stop at once its distance is final, or -1 to reach everything.
+     * @param edgeFilter Which edges may be followed, or null for all of them.
+     * @param weight     The non-negative weight of an edge given its label.
+     * @param distance   Filled with the distance of each vertex from the source (infinity if not reached);
+     *                   may be null.
+     * @return For each vertex ID, the ID of its parent in the shortest path tree;
+     *         the source is its own parent and unreachable vertices have -1.
+     *         When the search stops early at target, only the vertices settled before it (and target itself)
+     *         count as reached; every other vertex has parent -1 and distance infinity.
+     */
+    public int[] dijkstra(int source, int target, Predicate<E> edgeFilter, ToDoubleFunction<E> weight, double[] distance) {
+        int[] parent = new int[numVertices()];
+        Arrays.fill(parent, -1);
+        if (distance == null) {
+            distance = new double[numVertices()];
+        }
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        if (source < 0 || source >= numVertices()) {
+            System.err.println("Vertex source not found in dijkstra");
+            return parent;
+        }
+
+        IndexedMinHeap heap = new IndexedMinHeap(numVertices());
+        boolean[] done = new boolean[numVertices()];
+        parent[source] = source;
+        distance[source] = 0;
+        heap.insertOrDecrease(source, 0);
+
+        while (!heap.isEmpty()) {
+            int current = heap.extractMin();
+            done[current] = true;
+            if (current == target) {
+                // Vertices still in the heap only have tentative distances, so don't hand them out
+                for (int id = 0; id < parent.length; id++) {
+                    if (!done[id]) {
+                        parent[id] = -1;
+                        distance[id] = Double.POSITIVE_INFINITY;
+                    }
+                }
+                break;
+            }
+
+            for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                int v = targets[e];
+                E label = labels.get(e);
+                if (done[v] || (edgeFilter != null && !edgeFilter.test(label))) {
+                    continue;
+                }
+
+                double w = weight.applyAsDouble(label);
+                if (w < 0 || Double.isNaN(w)) {
+                    throw new IllegalArgumentException("Negative edge weight in dijkstra: " + w);
+                }
+                if (distance[current] + w < distance[v]) {
+                    distance[v] = distance[current] + w;
+                    parent[v] = current;
+                    heap.insertOrDecrease(v, distance[v]);
+                }
+            }
+        }
+
+        return parent;
+    }
+
+    /**
+     * Follow a parent array from a vertex back to the root of its tree.
+     *
+     * @param parent The parent array returned by bfs or dijkstra.
+     * @param id     The ID of the vertex to start from.
+     * @return The vertices from id to the root, or an empty list if id was not reached.
+     */
+    public List<V> getPath(int[] parent, int id) {
+        List<V> path = new ArrayList<>();
+        if (id < 0 || id >= parent.length || parent[id] == -1) {
+            return path;
+        }
+
+        path.add(vertexOf(id));
+        while (parent[id] != id) {
+            id = parent[id];
+            path.add(vertexOf(id));
+        }
+
+        return path;
+    }
+
+    /**
+     * Calculate the average separation of every reachable vertex from a source vertex,
+     * matching GraphLibrary.averageSeparation on the tree returned by GraphLibrary.bfs.
+     *
+     * @param source The ID of the source vertex.
+     * @return The average separation from the source vertex.
+     */
+    public double averageSeparation(int source) {
+        if (source < 0 || source >= numVertices()) {
+            return 0;
+        }
+
+        if (++stamp == 0) { // wrapped around: old marks could collide with the new stamp
+            Arrays.fill(mark, 0);
+            stamp = 1;
+        }
+
+        int head = 0, tail = 0;
+        queue[tail++] = source;
+        mark[source] = stamp;
+
+        double totalSteps = 0;
+        int depth = 0;
+        while (head < tail) {
+            int levelEnd = tail; // everything queued so far is at the current depth
+            while (head < levelEnd) {
+                int current = queue[head++];
+                totalSteps += depth;
+                for (int e = offsets[current]; e < offsets[current + 1]; e++) {
+                    int v = targets[e];
+                    if (mark[v] != stamp) {
+                        mark[v] = stamp;
+                        queue[tail++] = v;
+                    }
+                }
+            }
+            depth++;
+        }
+
+        return totalSteps / (tail - 1); // excluding vertex of reference
+    }
+}
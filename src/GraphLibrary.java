@@ -1,4 +1,6 @@
 import java.util.*;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 /**
  * Implements the GraphLibrary with BFS-related methods  for the Kevin Bacon Game
  *
@@ -103,6 +105,71 @@ public class GraphLibrary<V, E> {
         return missingVertices; // Return the set of missing vertices
     }
 
+    /**
+     * Lazily list the vertices in the main graph that are not in the subgraph, without collecting them into a set.
+     *
+     * @param graph    The main graph.
+     * @param subgraph The subgraph to compare with.
+     * @return A stream of the vertices in the main graph not present in the subgraph.
+     */
+    public static <V, E> Stream<V> missingVerticesStream(Graph<V, E> graph, Graph<V, E> subgraph) {
+        if (graph == null || subgraph == null) {
+            return Stream.empty();
+        }
+        return StreamSupport.stream(graph.vertices().spliterator(), false)
+                .filter(vertex -> !subgraph.hasVertex(vertex));
+    }
+
+    /**
+     * Lazily list the vertices of a shortest path tree level by level, i.e. sorted by separation from the root.
+     * The tree is only walked as far as the stream is consumed, and never deeper than maxDepth.
+     *
+     * @param tree     The shortest path tree.
+     * @param root     The root vertex.
+     * @param minDepth The smallest separation to include.
+     * @param maxDepth The largest separation to include.
+     * @return A stream of the vertices with separation between minDepth and maxDepth.
+     */
+    public static <V, E> Stream<V> verticesByDepth(Graph<V, E> tree, V root, double minDepth, double maxDepth) {
+        if (tree == null || !tree.hasVertex(root) || maxDepth < 0) {
+            return Stream.empty();
+        }
+
+        Iterator<V> levels = new Iterator<>() {
+            List<V> level = List.of(root); // vertices at the current depth
+            int depth = 0;
+            int next = 0;
+
+            public boolean hasNext() {
+                // Move down the tree until a level in range has vertices left to hand out
+                while (next == level.size() || depth < minDepth) {
+                    if (depth + 1 > maxDepth || level.isEmpty()) {
+                        return false;
+                    }
+                    List<V> children = new ArrayList<>();
+                    for (V vertex : level) {
+                        for (V child : tree.inNeighbors(vertex)) {
+                            children.add(child);
+                        }
+                    }
+                    level = children;
+                    depth++;
+                    next = 0;
+                }
+                return true;
+            }
+
+            public V next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return level.get(next++);
+            }
+        };
+
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(levels, Spliterator.ORDERED), false);
+    }
+
     /**
      * Calculate the average separation from the root in the shortest path tree.
      *
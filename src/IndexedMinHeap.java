@@ -0,0 +1,94 @@
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+/**
+ * Binary min-heap of vertex IDs 0..capacity-1 keyed by a double, with decrease-key.
+ * Everything lives in primitive arrays, so Dijkstra never boxes an ID or a distance.
+ *
+ * @author Lord Charité Igirimbabazi
+ * CS10, Fall 2023, PS4
+ */
+public class IndexedMinHeap {
+    private final int[] heap;     // IDs in heap order
+    private final int[] position; // position of each ID in heap, or -1 if it is not in the heap
+    private final double[] key;   // current key of each ID
+    private int size;
+
+    /**
+     * @param capacity The number of IDs the heap can hold; IDs must be smaller than it.
+     */
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        key = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Insert an ID, or lower its key if it is already in the heap with a larger one.
+     *
+     * @param id       The ID to insert.
+     * @param priority Its key.
+     */
+    public void insertOrDecrease(int id, double priority) {
+        if (position[id] == -1) {
+            heap[size] = id;
+            position[id] = size;
+            key[id] = priority;
+            siftUp(size++);
+        } else if (priority < key[id]) {
+            key[id] = priority;
+            siftUp(position[id]);
+        }
+    }
+
+    /**
+     * Remove the ID with the smallest key.
+     *
+     * @return That ID.
+     */
+    public int extractMin() {
+        if (size == 0) {
+            throw new NoSuchElementException("extractMin on an empty heap");
+        }
+        int min = heap[0];
+        position[min] = -1;
+        size--;
+        if (size > 0) {
+            heap[0] = heap[size];
+            position[heap[0]] = 0;
+            siftDown(0);
+        }
+        return min;
+    }
+
+    private void siftUp(int i) {
+        int id = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (key[heap[parent]] <= key[id]) break;
+            heap[i] = heap[parent];
+            position[heap[i]] = i;
+            i = parent;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+
+    private void siftDown(int i) {
+        int id = heap[i];
+        while (2 * i + 1 < size) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && key[heap[child + 1]] < key[heap[child]]) child++;
+            if (key[id] <= key[heap[child]]) break;
+            heap[i] = heap[child];
+            position[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = id;
+        position[id] = i;
+    }
+}
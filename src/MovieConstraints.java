@@ -0,0 +1,73 @@
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+/**
+ * Edge filters and weights over the co-star labels (the set of shared movie titles) of the actors graph,
+ * for use with CompactGraph.bfs and CompactGraph.dijkstra.
+ *
+ * @author Lord Charité Igirimbabazi
+ * CS10, Fall 2023, PS4
+ */
+public class MovieConstraints {
+    // Titles in movies.txt end with their release year, e.g. "Toy Story (1995)"
+    private static final Pattern RELEASE_YEAR = Pattern.compile("\\((\\d{4})\\)\\s*$");
+
+    /**
+     * Read the release year from the end of a movie title.
+     *
+     * @param title The movie title.
+     * @return The release year, or -1 if the title has none.
+     */
+    public static int releaseYear(String title) {
+        if (title == null) {
+            return -1;
+        }
+        Matcher matcher = RELEASE_YEAR.matcher(title);
+        return matcher.find() ? Integer.parseInt(matcher.group(1)) : -1;
+    }
+
+    /**
+     * @param year The earliest year excluded.
+     * @return Whether a movie was released after the given year (titles without a year never are).
+     */
+    public static Predicate<String> releasedAfter(int year) {
+        return title -> releaseYear(title) > year;
+    }
+
+    /**
+     * @param titles The excluded movie titles.
+     * @return Whether a movie is not one of the given titles.
+     */
+    public static Predicate<String> excluding(Collection<String> titles) {
+        Set<String> excluded = new HashSet<>(titles);
+        return title -> !excluded.contains(title);
+    }
+
+    /**
+     * Turn a condition on movies into a condition on co-star edges.
+     *
+     * @param movieFilter Which movies count.
+     * @return Whether at least one of the shared movies of an edge counts.
+     */
+    public static Predicate<Set<String>> anyMovie(Predicate<String> movieFilter) {
+        return movies -> {
+            for (String movie : movies) {
+                if (movieFilter.test(movie)) {
+                    return true;
+                }
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Weight for the "strongest collaboration" path: the more movies two actors share, the cheaper their edge.
+     *
+     * @return 1 / (number of shared movies) for each edge.
+     */
+    public static ToDoubleFunction<Set<String>> strongestCollaboration() {
+        return movies -> 1.0 / movies.size();
+    }
+}
@@ -0,0 +1,194 @@
+import java.io.IOException;
+import java.util.*;
+/**
+ * Times BFS and all-sources centrality on the actors graph with and without vertex reordering.
+ *
+ * Usage: java ReorderBenchmark [actors] [movies] [movie-actors] [layout] [sources] [repeats]
+ * where layout is MAP (the hash-based GraphLibrary.bfs) or one of CompactGraph.Ordering
+ * (all of them when omitted or "all"), sources is how many actors to run BFS from
+ * (every actor when omitted or 0) and repeats is how many timed trials to run per layout (default 5).
+ * Every layout is warmed up once before timing, the layouts are run in a rotating order
+ * on each trial, and the median trial is reported.
+ *
+ * Cache misses are not visible from Java, so run one layout per process under perf, e.g.
+ *   perf stat -e cache-references,cache-misses java ReorderBenchmark ... INPUT 0 50
+ *   perf stat -e cache-references,cache-misses java ReorderBenchmark ... RCM 0 50
+ * Raise repeats until the reported traversal time dominates the load time, and run once more
+ * with repeats 0 (load and layout only) to get the counts to subtract from each run.
+ *
+ * @author Lord Charité Igirimbabazi
+ * CS10, Fall 2023, PS4
+ */
+public class ReorderBenchmark {
+    private static final String MAP = "MAP";
+
+    public static void main(String[] args) throws IOException {
+        String actorsFile = args.length > 0 ? args[0] : "txt files/actors.txt";
+        String moviesFile = args.length > 1 ? args[1] : "txt files/movies.txt";
+        String movieActorsFile = args.length > 2 ? args[2] : "txt files/movie-actors.txt";
+        String layout = args.length > 3 ? args[3].toUpperCase() : "ALL";
+        int sources = args.length > 4 ? Integer.parseInt(args[4]) : 0;
+        int repeats = args.length > 5 ? Integer.parseInt(args[5]) : 5;
+
+        // Build the actors graph, timed so its cost can be told apart from the traversals
+        long loadStart = System.nanoTime();
+        Map<String, String> actorMap = ReadingFile.readFile(actorsFile);
+        Map<String, String> movieMap = ReadingFile.readFile(moviesFile);
+        Map<String, Set<String>> movieActorsMap = ReadingFile.movieActorsBuildMap(movieActorsFile);
+        Graph<String, Set<String>> actorsGraph = ReadingFile.buildActorsGraph(actorMap, movieMap, movieActorsMap);
+        double loadMillis = (System.nanoTime() - loadStart) / 1e6;
+
+        // Every layout runs from the same actors so the timings are comparable
+        List<String> sourceActors = new ArrayList<>();
+        for (String actor : actorsGraph.vertices()) {
+            if (sources > 0 && sourceActors.size() == sources) break;
+            sourceActors.add(actor);
+        }
+
+        System.out.printf("%d actors, %d edges, BFS from %d actors, %d trials, load %.1f ms%n",
+                actorsGraph.numVertices(), actorsGraph.numEdges(), sourceActors.size(), repeats, loadMillis);
+
+        List<String> layouts = new ArrayList<>();
+        if (layout.equals("ALL")) {
+            layouts.add(MAP);
+            for (CompactGraph.Ordering order : CompactGraph.Ordering.values()) {
+                layouts.add(order.name());
+            }
+        } else {
+            layouts.add(layout);
+        }
+
+        // Lay out every compact graph up front: trials[layout] = {bfs trial, centrality trial}
+        Map<String, Runnable[]> trials = new LinkedHashMap<>();
+        for (String name : layouts) {
+            if (name.equals(MAP)) {
+                trials.put(name, mapTrials(actorsGraph, sourceActors));
+            } else {
+                long start = System.nanoTime();
+                CompactGraph<String, Set<String>> compact = CompactGraph.from(actorsGraph, CompactGraph.Ordering.valueOf(name));
+                System.out.printf("%-10s layout %8.1f ms%n", name, (System.nanoTime() - start) / 1e6);
+                trials.put(name, compactTrials(compact, sourceActors));
+            }
+        }
+        if (repeats <= 0) {
+            return;
+        }
+
+        // Warm up every layout so no layout is timed while the JIT is still cold
+        for (Runnable[] trial : trials.values()) {
+            trial[0].run();
+            trial[1].run();
+        }
+
+        Map<String, double[][]> times = new LinkedHashMap<>(); // times[layout][bfs or centrality][trial]
+        for (String name : layouts) {
+            times.put(name, new double[2][repeats]);
+        }
+        for (int r = 0; r < repeats; r++) {
+            // Rotate the starting layout so none of them always runs first
+            for (int i = 0; i < layouts.size(); i++) {
+                String name = layouts.get((i + r) % layouts.size());
+                for (int kind = 0; kind < 2; kind++) {
+                    long start = System.nanoTime();
+                    trials.get(name)[kind].run();
+                    times.get(name)[kind][r] = (System.nanoTime() - start) / 1e6;
+                }
+            }
+        }
+
+        double totalTraversalMillis = 0;
+        Map<String, double[]> medians = new LinkedHashMap<>();
+        for (String name : layouts) {
+            double[][] layoutTimes = times.get(name);
+            medians.put(name, new double[]{median(layoutTimes[0]), median(layoutTimes[1])});
+            for (double[] kindTimes : layoutTimes) {
+                for (double t : kindTimes) totalTraversalMillis += t;
+            }
+            System.out.printf("%-10s median bfs %10.1f ms   centrality %10.1f ms%n", name, medians.get(name)[0], medians.get(name)[1]);
+        }
+        System.out.printf("timed traversals %.1f ms vs load %.1f ms%n", totalTraversalMillis, loadMillis);
+
+        // Speedups relative to the unordered compact layout and the hash-based BFS
+        for (String name : layouts) {
+            double[] median = medians.get(name);
+            StringBuilder line = new StringBuilder(String.format("%-10s", name));
+            for (String reference : new String[]{CompactGraph.Ordering.INPUT.name(), MAP}) {
+                double[] referenceMedian = medians.get(reference);
+                if (referenceMedian != null && !reference.equals(name)) {
+                    line.append(String.format("   bfs x%.2f, centrality x%.2f vs %s",
+                            referenceMedian[0] / median[0], referenceMedian[1] / median[1], reference));
+                }
+            }
+            System.out.println(line);
+        }
+    }
+
+    /**
+     * BFS and centrality trials over the hash-based graph, as the game ran them before CompactGraph.
+     */
+    private static Runnable[] mapTrials(Graph<String, Set<String>> actorsGraph, List<String> sourceActors) {
+        Runnable bfs = () -> {
+            long reached = 0;
+            for (String actor : sourceActors) {
+                reached += GraphLibrary.bfs(actorsGraph, actor).numVertices();
+            }
+            consume(reached);
+        };
+        Runnable centrality = () -> {
+            double totalSeparation = 0;
+            for (String actor : sourceActors) {
+                double separation = GraphLibrary.averageSeparation(GraphLibrary.bfs(actorsGraph, actor), actor);
+                if (!Double.isNaN(separation)) totalSeparation += separation; // isolated actors have no separation
+            }
+            consume(totalSeparation);
+        };
+        return new Runnable[]{bfs, centrality};
+    }
+
+    /**
+     * BFS and centrality trials over a compact graph; the BFS reuses one parent array for every source.
+     */
+    private static Runnable[] compactTrials(CompactGraph<String, Set<String>> compact, List<String> sourceActors) {
+        int[] ids = new int[sourceActors.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = compact.idOf(sourceActors.get(i));
+        }
+        int[] parent = new int[compact.numVertices()];
+
+        Runnable bfs = () -> {
+            long reached = 0;
+            for (int id : ids) {
+                compact.bfs(id, null, parent);
+                for (int p : parent) {
+                    if (p != -1) reached++;
+                }
+            }
+            consume(reached);
+        };
+        Runnable centrality = () -> {
+            double totalSeparation = 0;
+            for (int id : ids) {
+                double separation = compact.averageSeparation(id);
+                if (!Double.isNaN(separation)) totalSeparation += separation; // isolated actors have no separation
+            }
+            consume(totalSeparation);
+        };
+        return new Runnable[]{bfs, centrality};
+    }
+
+    private static double sink;
+
+    /**
+     * Keep a result alive so the JIT can't drop the traversal that produced it.
+     */
+    private static void consume(double result) {
+        sink += result;
+    }
+
+    private static double median(double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int mid = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[mid] : (sorted[mid - 1] + sorted[mid]) / 2;
+    }
+}
@@ -0,0 +1,151 @@
+import java.io.*;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+/**
+ * Pagination and output options for the listing commands of the Kevin Bacon Game.
+ * Results arrive as a lazy stream, so only the requested page is ever pulled through,
+ * and lines are written through a buffered writer instead of one autoflushing println per line.
+ *
+ * Options (any order, after the command's own arguments):
+ * offset=<#> skip the first <#> results, limit=<#> print at most <#> results,
+ * out=<file> write to a file instead of the console, ndjson one JSON object per line.
+ *
+ * @author Lord Charité Igirimbabazi
+ * CS10, Fall 2023, PS4
+ */
+public class ResultPage {
+    private long offset = 0;
+    private long limit = Long.MAX_VALUE;
+    private String outputPath = null; // null means the console
+    private boolean ndjson = false;
+
+    /**
+     * Default page: every result, printed to the console as plain text.
+     */
+    public ResultPage() {
+    }
+
+    /**
+     * Read the pagination and output options of a command.
+     *
+     * @param parts The words of the command line.
+     * @param first The index of the first option.
+     * @return The options, or null if one of them is invalid.
+     */
+    public static ResultPage parse(String[] parts, int first) {
+        ResultPage page = new ResultPage();
+
+        for (int i = first; i < parts.length; i++) {
+            String option = parts[i];
+            try {
+                if (option.startsWith("offset=")) {
+                    page.offset = Long.parseLong(option.substring("offset=".length()));
+                    if (page.offset < 0) return null;
+                } else if (option.startsWith("limit=")) {
+                    page.limit = Long.parseLong(option.substring("limit=".length()));
+                    if (page.limit < 0) return null;
+                } else if (option.startsWith("out=") && option.length() > "out=".length()) {
+                    page.outputPath = option.substring("out=".length());
+                } else if (option.equals("ndjson")) {
+                    page.ndjson = true;
+                } else {
+                    return null;
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        return page;
+    }
+
+    /**
+     * Write the requested page of actors, numbered by their position in the full result.
+     *
+     * @param actors The lazily evaluated results.
+     * @return The number of actors written.
+     */
+    public long write(Stream<String> actors) {
+        Iterator<String> page = actors.skip(offset).limit(limit).iterator();
+
+        if (outputPath == null) {
+            // Don't close the console, only flush what was buffered
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(System.out, consoleCharset()));
+            try {
+                long written = writeLines(writer, page);
+                writer.flush();
+                return written;
+            } catch (IOException e) {
+                System.err.println("An error occurred while printing the results: " + e.getMessage());
+                return 0;
+            }
+        }
+
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(outputPath, StandardCharsets.UTF_8))) {
+            long written = writeLines(writer, page);
+            System.out.println(">>> " + written + " actors written to " + outputPath);
+            return written;
+        } catch (IOException e) {
+            System.err.println("An error occurred while writing the file: " + e.getMessage());
+            return 0;
+        }
+    }
+
+    /**
+     * The charset System.out encodes with, so names with accents print the same as the header lines.
+     */
+    private static Charset consoleCharset() {
+        String encoding = System.getProperty("stdout.encoding", System.getProperty("sun.stdout.encoding"));
+        try {
+            return encoding == null ? Charset.defaultCharset() : Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            return Charset.defaultCharset();
+        }
+    }
+
+    /**
+     * Write one line per actor in the plain or NDJSON format.
+     */
+    private long writeLines(Writer writer, Iterator<String> page) throws IOException {
+        long current = offset + 1;
+
+        while (page.hasNext()) {
+            String actor = page.next();
+            if (ndjson) {
+                writer.write("{\"rank\":" + current + ",\"actor\":\"" + escapeJson(actor) + "\"}");
+            } else {
+                writer.write(current + ": " + actor);
+            }
+            writer.write(System.lineSeparator());
+            current++;
+        }
+
+        return current - offset - 1;
+    }
+
+    /**
+     * Escape a string for use inside a JSON string literal.
+     */
+    private static String escapeJson(String str) {
+        StringBuilder escaped = new StringBuilder(str.length());
+        for (char c : str.toCharArray()) {
+            switch (c) {
+                case '"' -> escaped.append("\\\"");
+                case '\\' -> escaped.append("\\\\");
+                case '\n' -> escaped.append("\\n");
+                case '\r' -> escaped.append("\\r");
+                case '\t' -> escaped.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escaped.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        escaped.append(c);
+                    }
+                }
+            }
+        }
+        return escaped.toString();
+    }
+}